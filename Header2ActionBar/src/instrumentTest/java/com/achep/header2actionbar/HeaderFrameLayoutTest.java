@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.achep.header2actionbar.core.HeaderScrollEngine;
+
+/**
+ * Measures overdraw of {@link com.achep.header2actionbar.HeaderFrameLayout}:
+ * every test view counts the pixels it was allowed to fill, so the sum
+ * over the frame's area is the number of times each pixel is filled.
+ */
+public class HeaderFrameLayoutTest extends AndroidTestCase {
+
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 400;
+    private static final int HEADER_HEIGHT = 200;
+    private static final int ACTION_BAR_HEIGHT = 50;
+
+    private static final int AREA = WIDTH * HEIGHT;
+
+    private HeaderScrollEngine mEngine;
+    private HeaderFrameLayout mFrameLayout;
+
+    private FillView mContent;
+    private FrameLayout mHeader;
+    private FillView mHeaderBackground;
+    private FillView mHeaderHeader;
+
+    /**
+     * View which counts the pixels it has filled.
+     */
+    private static class FillView extends View {
+
+        private final Rect mClipBounds = new Rect();
+
+        int filled;
+        int drawCount;
+
+        public FillView(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            drawCount++;
+            if (canvas.getClipBounds(mClipBounds)
+                    && mClipBounds.intersect(0, 0, getWidth(), getHeight())) {
+                filled += mClipBounds.width() * mClipBounds.height();
+            }
+        }
+
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        final Context context = getContext();
+
+        mEngine = new HeaderScrollEngine();
+        mEngine.setHeaderHeight(HEADER_HEIGHT);
+        mEngine.setCoveredHeight(ACTION_BAR_HEIGHT);
+
+        mContent = new FillView(context);
+        mHeaderBackground = new FillView(context);
+        mHeaderHeader = new FillView(context);
+
+        mHeader = new FrameLayout(context);
+        mHeader.addView(mHeaderBackground, new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, HEADER_HEIGHT));
+        mHeader.addView(mHeaderHeader, new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ACTION_BAR_HEIGHT));
+
+        mFrameLayout = new HeaderFrameLayout(context, mEngine);
+        mFrameLayout.addView(mContent, new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        mFrameLayout.addView(mHeader, new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, HEADER_HEIGHT));
+        mFrameLayout.setContentView(mContent);
+        mFrameLayout.setHeaderView(mHeader, mHeaderHeader);
+
+        mFrameLayout.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mFrameLayout.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private void scrollTo(int scroll) {
+        mEngine.scrollTo(scroll, true);
+        mHeader.setTranslationY(mEngine.getHeaderTranslationY());
+        mHeaderHeader.setTranslationY(mEngine.getHeaderHeaderTranslationY());
+    }
+
+    /**
+     * @return number of pixels filled by content and header
+     */
+    private int draw() {
+        final Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        try {
+            mFrameLayout.draw(new Canvas(bitmap));
+        } finally {
+            bitmap.recycle();
+        }
+        return mContent.filled + mHeaderBackground.filled + mHeaderHeader.filled;
+    }
+
+    public void testContentIsDrawnUnderHeaderByDefault() {
+        scrollTo(-80);
+        final int filled = draw();
+
+        assertEquals(AREA, mContent.filled);
+        assertEquals(WIDTH * (HEADER_HEIGHT - 80), mHeaderBackground.filled);
+        assertTrue(filled > AREA);
+    }
+
+    public void testContentClipRemovesOverdraw() {
+        mFrameLayout.setContentClipEnabled(true);
+        scrollTo(-80);
+        draw();
+
+        final int visibleHeight = HEADER_HEIGHT - 80;
+        assertEquals(WIDTH * (HEIGHT - visibleHeight), mContent.filled);
+        assertEquals(WIDTH * visibleHeight, mHeaderBackground.filled);
+
+        // Content and header's background fill every pixel once.
+        assertEquals(AREA, mContent.filled + mHeaderBackground.filled);
+    }
+
+    public void testHeaderIsDrawnUntilCovered() {
+        scrollTo(-(HEADER_HEIGHT - ACTION_BAR_HEIGHT) + 1);
+        draw();
+
+        assertEquals(1, mHeaderBackground.drawCount);
+    }
+
+    public void testCoveredHeaderDrawsOnlyHeaderHeader() {
+        mFrameLayout.setContentClipEnabled(true);
+        scrollTo(-160);
+        final int filled = draw();
+
+        final int visibleHeight = HEADER_HEIGHT - 160;
+        assertEquals(0, mHeaderBackground.drawCount);
+        assertEquals(WIDTH * visibleHeight, mHeaderHeader.filled);
+        assertEquals(WIDTH * (HEIGHT - visibleHeight), mContent.filled);
+        assertEquals(AREA, filled);
+    }
+
+    public void testCoveredHeaderKeepsVisibility() {
+        scrollTo(-HEADER_HEIGHT);
+        draw();
+
+        assertEquals(View.VISIBLE, mHeaderBackground.getVisibility());
+        assertEquals(View.VISIBLE, mHeaderHeader.getVisibility());
+    }
+
+    public void testCollapsedHeaderFillsNothing() {
+        mFrameLayout.setContentClipEnabled(true);
+        scrollTo(-HEADER_HEIGHT);
+        final int filled = draw();
+
+        assertEquals(0, mHeaderBackground.drawCount);
+        assertEquals(0, mHeaderHeader.filled);
+        assertEquals(AREA, filled);
+    }
+
+}
@@ -21,6 +21,8 @@ import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.util.Log;
 
+import com.achep.header2actionbar.core.ActionBarAlphaState;
+
 /**
  * Created by AChep@xda <artemchep@gmail.com>
  */
@@ -28,9 +30,9 @@ public class FadingActionBarHelper {
 
     private static final String TAG = "FadingActionBarHelper";
 
-    private int mAlpha = 255;
     private Drawable mDrawable;
-    private boolean isAlphaLocked;
+
+    private final ActionBarAlphaState mAlphaState = new ActionBarAlphaState();
 
     private final ActionBar mActionBar;
 
@@ -51,11 +53,11 @@ public class FadingActionBarHelper {
         mDrawable = mutate ? drawable.mutate() : drawable;
         mActionBar.setBackgroundDrawable(mDrawable);
 
-        if (mAlpha == 255) {
+        if (mAlphaState.getAlpha() == 255) {
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT)
-                mAlpha = mDrawable.getAlpha();
+                mAlphaState.setAlpha(mDrawable.getAlpha());
         } else {
-            setActionBarAlpha(mAlpha);
+            setActionBarAlpha(mAlphaState.getAlpha());
         }
     }
 
@@ -85,12 +87,11 @@ public class FadingActionBarHelper {
             Log.w(TAG, "Set action bar background before setting the alpha level!");
             return;
         }
-        if (!isAlphaLocked) mDrawable.setAlpha(alpha);
-        mAlpha = alpha;
+        if (mAlphaState.setAlpha(alpha)) mDrawable.setAlpha(alpha);
     }
 
     public int getActionBarAlpha() {
-        return mAlpha;
+        return mAlphaState.getAlpha();
     }
 
     /**
@@ -102,12 +103,12 @@ public class FadingActionBarHelper {
     public void setActionBarAlphaLocked(boolean lock) {
 
         // Update alpha level on unlock
-        if (isAlphaLocked != (isAlphaLocked = lock) && !isAlphaLocked) {
-            setActionBarAlpha(mAlpha);
+        if (mAlphaState.setLocked(lock)) {
+            setActionBarAlpha(mAlphaState.getAlpha());
         }
     }
 
     public boolean isActionBarAlphaLocked() {
-        return isAlphaLocked;
+        return mAlphaState.isLocked();
     }
 }
@@ -18,10 +18,14 @@ package com.achep.header2actionbar;
 
 import android.app.Activity;
 import android.app.Fragment;
+import android.content.Context;
+import android.database.DataSetObserver;
 import android.os.Bundle;
+import android.util.TypedValue;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.Window;
 import android.widget.AbsListView;
 import android.widget.FrameLayout;
 import android.widget.LinearLayout;
@@ -30,6 +34,9 @@ import android.widget.ListView;
 import android.widget.ScrollView;
 import android.widget.Space;
 
+import com.achep.header2actionbar.core.HeaderScrollEngine;
+import com.achep.header2actionbar.core.PrefetchRange;
+
 /**
  * Little header fragment.
  * <p>
@@ -37,6 +44,12 @@ import android.widget.Space;
  * {@link android.R.id#title} to specify view on top of the header
  * (for example: a shadow for {@code ActionBar}).
  * <p>
+ * Overdraw: once the header is covered (by default, when the visible part of
+ * it fits under an overlay action bar; see {@link #setHeaderCoveredHeight(int)})
+ * only its {@link android.R.id#title} view is drawn. Content is still drawn under
+ * the header unless {@link #setContentClipEnabled(boolean)} is enabled,
+ * because the header may have transparent areas.
+ * <p>
  * Created by AChep@xda <artemchep@gmail.com>
  */
 //  let's        \'/
@@ -51,56 +64,182 @@ public abstract class HeaderFragment extends Fragment {
 
     private static final String TAG = "HeaderFragment";
 
-    public static final int HEADER_BACKGROUND_SCROLL_NORMAL = 0;
-    public static final int HEADER_BACKGROUND_SCROLL_PARALLAX = 1;
-    public static final int HEADER_BACKGROUND_SCROLL_STATIC = 2;
+    public static final int HEADER_BACKGROUND_SCROLL_NORMAL = HeaderScrollEngine.BACKGROUND_SCROLL_NORMAL;
+    public static final int HEADER_BACKGROUND_SCROLL_PARALLAX = HeaderScrollEngine.BACKGROUND_SCROLL_PARALLAX;
+    public static final int HEADER_BACKGROUND_SCROLL_STATIC = HeaderScrollEngine.BACKGROUND_SCROLL_STATIC;
 
-    private FrameLayout mFrameLayout;
+    private HeaderFrameLayout mFrameLayout;
     private View mContentOverlay;
 
     // header
     private View mHeader;
     private View mHeaderHeader;
     private View mHeaderBackground;
-    private int mHeaderHeight;
-    private int mHeaderScroll;
+    private int mHeaderCoveredHeight = -1;
 
-    private int mHeaderBackgroundScrollMode = HEADER_BACKGROUND_SCROLL_NORMAL;
+    private HeaderViewPool mHeaderViewPool;
+
+    private final HeaderScrollEngine mEngine = new HeaderScrollEngine();
+    private final PrefetchRange mPrefetchRange = new PrefetchRange();
+    private ListAdapter mListViewAdapter;
+    private boolean isContentClipEnabled;
 
     private Space mFakeHeader;
     private boolean isListViewEmpty;
 
+    // Report prefetch range again when data changes.
+    private final DataSetObserver mPrefetchDataSetObserver = new DataSetObserver() {
+
+        @Override
+        public void onChanged() {
+            mPrefetchRange.reset();
+        }
+
+        @Override
+        public void onInvalidated() {
+            mPrefetchRange.reset();
+        }
+    };
+
     // listeners
     private AbsListView.OnScrollListener mOnScrollListener;
     private OnHeaderScrollChangedListener mOnHeaderScrollChangedListener;
+    private OnPrefetchRangeChangedListener mOnPrefetchRangeChangedListener;
 
     public interface OnHeaderScrollChangedListener {
         public void onHeaderScrollChanged(float progress, int height, int scroll);
     }
 
+    /**
+     * Listener for starting image decodes before rows scroll on screen.
+     * All positions are adapter positions (fake header is not counted),
+     * empty range is reported as {@code -1, -1}.
+     */
+    public interface OnPrefetchRangeChangedListener {
+
+        /**
+         * @param firstVisible first visible adapter position
+         * @param lastVisible  last visible adapter position
+         * @param first        first position to prefetch, including look-ahead
+         * @param last         last position to prefetch, including look-ahead;
+         *                     work queued for positions out of {@code [first, last]}
+         *                     may be cancelled
+         */
+        public void onPrefetchRangeChanged(int firstVisible, int lastVisible, int first, int last);
+    }
+
     public void setOnHeaderScrollChangedListener(OnHeaderScrollChangedListener listener) {
         mOnHeaderScrollChangedListener = listener;
     }
 
+    /**
+     * Works only if content view is {@link android.widget.ListView}. Range is
+     * reported again after the adapter set by
+     * {@link #setListViewAdapter(android.widget.ListView, android.widget.ListAdapter)}
+     * notifies about data changes.
+     *
+     * @see #setPrefetchLookAhead(int)
+     */
+    public void setOnPrefetchRangeChangedListener(OnPrefetchRangeChangedListener listener) {
+        mOnPrefetchRangeChangedListener = listener;
+        mPrefetchRange.reset();
+    }
+
+    /**
+     * @param lookAhead number of items beyond the visible ones to prefetch
+     *                  in the direction of scroll
+     * @throws IllegalArgumentException if look-ahead is negative
+     */
+    public void setPrefetchLookAhead(int lookAhead) {
+        mPrefetchRange.setLookAhead(lookAhead);
+    }
+
+    public int getPrefetchLookAhead() {
+        return mPrefetchRange.getLookAhead();
+    }
+
     public void setHeaderBackgroundScrollMode(int scrollMode) {
-        mHeaderBackgroundScrollMode = scrollMode;
+        mEngine.setBackgroundScrollMode(scrollMode);
+    }
+
+    /**
+     * Enables clipping of content to the area below the header, so the pixels
+     * covered by header are filled only once. Do not enable this if your header
+     * has transparent areas and content should be seen through them.
+     * Disabled by default.
+     *
+     * @param enabled {@code true} to clip content to the area below the header
+     */
+    public void setContentClipEnabled(boolean enabled) {
+        isContentClipEnabled = enabled;
+        if (mFrameLayout != null) mFrameLayout.setContentClipEnabled(enabled);
+    }
+
+    /**
+     * Header is considered covered when its visible part is not higher than
+     * given height; then only the header's header view is drawn. Defaults to
+     * the action bar height if the activity has an overlay action bar, otherwise
+     * to {@code 0}: header is covered only when fully collapsed.
+     *
+     * @param height height of the views on top of the header or {@code -1}
+     *               to use the default one
+     */
+    public void setHeaderCoveredHeight(int height) {
+        mHeaderCoveredHeight = height;
+        if (mFrameLayout != null) {
+            mEngine.setCoveredHeight(height >= 0 ? height : getDefaultHeaderCoveredHeight());
+            mFrameLayout.invalidate();
+        }
+    }
+
+    public int getHeaderCoveredHeight() {
+        return mEngine.getCoveredHeight();
+    }
+
+    /**
+     * Sets the pool to take header from. While pool is set
+     * {@link #onCreateHeaderView(android.view.LayoutInflater, android.view.ViewGroup)}
+     * is not called: put header's setup to {@link #onBindHeaderView(android.view.View)}
+     * and clear its listeners and images in {@link #onUnbindHeaderView(android.view.View)}.
+     * Header is given back to pool once fragment's view is detached from window.
+     * <p>
+     * Takes effect on the next {@link #onCreateView(LayoutInflater, ViewGroup, Bundle)}.
+     *
+     * @param pool pool of header views or {@code null} to inflate header each time
+     */
+    public void setHeaderViewPool(HeaderViewPool pool) {
+        mHeaderViewPool = pool;
+    }
+
+    public HeaderViewPool getHeaderViewPool() {
+        return mHeaderViewPool;
     }
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         final Activity activity = getActivity();
         assert activity != null;
-        mFrameLayout = new FrameLayout(activity);
-
-        mHeader = onCreateHeaderView(inflater, mFrameLayout);
+        final PoolFrameLayout frameLayout = new PoolFrameLayout(activity, mEngine);
+        frameLayout.setContentClipEnabled(isContentClipEnabled);
+        mFrameLayout = frameLayout;
+
+        mHeader = mHeaderViewPool != null
+                ? mHeaderViewPool.obtain()
+                : onCreateHeaderView(inflater, mFrameLayout);
+        frameLayout.setReleasedHeader(mHeaderViewPool, mHeader);
+        onBindHeaderView(mHeader);
         mHeaderHeader = mHeader.findViewById(android.R.id.title);
         mHeaderBackground = mHeader.findViewById(android.R.id.background);
         assert mHeader.getLayoutParams() != null;
-        mHeaderHeight = mHeader.getLayoutParams().height;
+        final int headerHeight = mHeader.getLayoutParams().height;
+        mEngine.setHeaderHeight(headerHeight);
+        mEngine.setCoveredHeight(mHeaderCoveredHeight >= 0
+                ? mHeaderCoveredHeight
+                : getDefaultHeaderCoveredHeight());
 
         mFakeHeader = new Space(activity);
         mFakeHeader.setLayoutParams(
-                new ListView.LayoutParams(0, mHeaderHeight));
+                new ListView.LayoutParams(0, headerHeight));
 
         View content = onCreateContentView(inflater, mFrameLayout);
         if (content instanceof ListView) {
@@ -125,13 +264,21 @@ public abstract class HeaderFragment extends Fragment {
                                 absListView, firstVisibleItem, 
                                 visibleItemCount, totalItemCount);
                     }
+
+                    if (mOnPrefetchRangeChangedListener != null && mPrefetchRange.update(
+                            firstVisibleItem, visibleItemCount, totalItemCount,
+                            listView.getHeaderViewsCount(), listView.getFooterViewsCount())) {
+                        mOnPrefetchRangeChangedListener.onPrefetchRangeChanged(
+                                mPrefetchRange.getFirstVisible(), mPrefetchRange.getLastVisible(),
+                                mPrefetchRange.getFirst(), mPrefetchRange.getLast());
+                    }
                     
                     if (isListViewEmpty) {
                         scrollHeaderTo(0);
                     } else {
                         final View child = absListView.getChildAt(0);
                         assert child != null;
-                        scrollHeaderTo(child == mFakeHeader ? child.getTop() : -mHeaderHeight);
+                        scrollHeaderTo(child == mFakeHeader ? child.getTop() : -headerHeight);
                     }
                 }
             });
@@ -158,6 +305,8 @@ public abstract class HeaderFragment extends Fragment {
             content = scrollView;
         }
 
+        mFrameLayout.setContentView(content);
+        mFrameLayout.setHeaderView(mHeader, mHeaderHeader);
         mFrameLayout.addView(content);
         mFrameLayout.addView(mHeader);
 
@@ -179,41 +328,130 @@ public abstract class HeaderFragment extends Fragment {
         return mFrameLayout;
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        setListViewAdapterObserved(null);
+
+        final PoolFrameLayout frameLayout = (PoolFrameLayout) mFrameLayout;
+        if (frameLayout == null) return;
+
+        if (frameLayout.isHeaderPooled()) {
+
+            // Header may be taken by another fragment after recycling.
+            mHeader = null;
+            mHeaderHeader = null;
+            mHeaderBackground = null;
+        }
+
+        // Keep the header bound while exit animation runs.
+        frameLayout.releaseHeaderOnDetach();
+    }
+
     private void scrollHeaderTo(int scrollTo) {
         scrollHeaderTo(scrollTo, false);
     }
 
     private void scrollHeaderTo(int scrollTo, boolean forceChange) {
-        scrollTo = Math.min(Math.max(scrollTo, -mHeaderHeight), 0);
-        if (mHeaderScroll == (mHeaderScroll = scrollTo) & !forceChange) return;
-
-        setViewTranslationY(mHeader, scrollTo);
-        setViewTranslationY(mHeaderHeader, -scrollTo);
-
-        switch (mHeaderBackgroundScrollMode) {
-            case HEADER_BACKGROUND_SCROLL_NORMAL:
-                setViewTranslationY(mHeaderBackground, 0);
-                break;
-            case HEADER_BACKGROUND_SCROLL_PARALLAX:
-                setViewTranslationY(mHeaderBackground, -scrollTo / 1.6f);
-                break;
-            case HEADER_BACKGROUND_SCROLL_STATIC:
-                setViewTranslationY(mHeaderBackground, -scrollTo);
-                break;
+        final boolean wasCovered = mEngine.isCovered();
+        if (!mEngine.scrollTo(scrollTo, forceChange)) return;
+
+        setViewTranslationY(mHeader, mEngine.getHeaderTranslationY());
+        setViewTranslationY(mHeaderHeader, mEngine.getHeaderHeaderTranslationY());
+        setViewTranslationY(mHeaderBackground, mEngine.getBackgroundTranslationY());
+
+        // Update clip bounds of content and covered header.
+        if (isContentClipEnabled || wasCovered || mEngine.isCovered()) {
+            mFrameLayout.invalidate();
         }
 
         if (mContentOverlay != null) {
             final ViewGroup.LayoutParams lp = mContentOverlay.getLayoutParams();
-            final int delta = mHeaderHeight + scrollTo;
-            lp.height = mFrameLayout.getHeight() - delta;
+            lp.height = mEngine.getContentOverlayHeight(mFrameLayout.getHeight());
             mContentOverlay.setLayoutParams(lp);
-            mContentOverlay.setTranslationY(delta);
+            mContentOverlay.setTranslationY(mEngine.getContentOverlayTranslationY());
         }
 
         notifyOnHeaderScrollChangeListener(
-                (float) -scrollTo / mHeaderHeight,
-                mHeaderHeight,
-                -scrollTo);
+                mEngine.getProgress(),
+                mEngine.getHeaderHeight(),
+                -mEngine.getScroll());
+    }
+
+    /**
+     * Unbinds header and gives pooled one back to its pool
+     * on detaching from window.
+     */
+    private class PoolFrameLayout extends HeaderFrameLayout {
+
+        private HeaderViewPool mPool;
+        private View mReleasedHeader;
+        private boolean isReleaseOnDetach;
+
+        public PoolFrameLayout(Context context, HeaderScrollEngine engine) {
+            super(context, engine);
+        }
+
+        /**
+         * @param pool   pool the header was taken from or {@code null}
+         * @param header header to release
+         */
+        public void setReleasedHeader(HeaderViewPool pool, View header) {
+            mPool = pool;
+            mReleasedHeader = header;
+        }
+
+        public boolean isHeaderPooled() {
+            return mPool != null;
+        }
+
+        public void releaseHeaderOnDetach() {
+            if (getWindowToken() == null) {
+                releaseHeader();
+            } else {
+                isReleaseOnDetach = true;
+            }
+        }
+
+        @Override
+        protected void onDetachedFromWindow() {
+            super.onDetachedFromWindow();
+            if (isReleaseOnDetach) releaseHeader();
+        }
+
+        private void releaseHeader() {
+            isReleaseOnDetach = false;
+            if (mReleasedHeader == null) return;
+
+            onUnbindHeaderView(mReleasedHeader);
+            if (mPool != null) {
+                mPool.recycle(mReleasedHeader);
+                setHeaderView(null, null);
+                mPool = null;
+            }
+            mReleasedHeader = null;
+        }
+    }
+
+    /**
+     * @return action bar height if the activity has an overlay action bar, {@code 0} otherwise
+     */
+    private int getDefaultHeaderCoveredHeight() {
+        final Activity activity = getActivity();
+        if (activity == null) return 0;
+
+        final Window window = activity.getWindow();
+        if (window == null || !window.hasFeature(Window.FEATURE_ACTION_BAR_OVERLAY)
+                || activity.getActionBar() == null) {
+            return 0;
+        }
+
+        final TypedValue value = new TypedValue();
+        if (!activity.getTheme().resolveAttribute(android.R.attr.actionBarSize, value, true)) {
+            return 0;
+        }
+        return TypedValue.complexToDimensionPixelSize(
+                value.data, activity.getResources().getDisplayMetrics());
     }
 
     private void setViewTranslationY(View view, float translationY) {
@@ -228,18 +466,50 @@ public abstract class HeaderFragment extends Fragment {
 
     public abstract View onCreateHeaderView(LayoutInflater inflater, ViewGroup container);
 
+    /**
+     * Called for every header after it was created or taken from
+     * {@link com.achep.header2actionbar.HeaderViewPool pool}.
+     * Bind data and set listeners here.
+     *
+     * @see #onUnbindHeaderView(android.view.View)
+     */
+    public void onBindHeaderView(View header) {
+    }
+
+    /**
+     * Called for every header once fragment's view has been destroyed and
+     * detached from window, before pooled header is given back to its pool.
+     * Clear listeners and images here, otherwise the pool keeps
+     * this fragment reachable.
+     *
+     * @see #onBindHeaderView(android.view.View)
+     */
+    public void onUnbindHeaderView(View header) {
+    }
+
     public abstract View onCreateContentView(LayoutInflater inflater, ViewGroup container);
 
     public abstract View onCreateContentOverlayView(LayoutInflater inflater, ViewGroup container);
 
     public void setListViewAdapter(ListView listView, ListAdapter adapter) {
         isListViewEmpty = adapter == null;
+        setListViewAdapterObserved(adapter);
         listView.setAdapter(null);
         listView.removeHeaderView(mFakeHeader);
         listView.addHeaderView(mFakeHeader);
         listView.setAdapter(adapter);
     }
 
+    private void setListViewAdapterObserved(ListAdapter adapter) {
+        if (mListViewAdapter != null) {
+            mListViewAdapter.unregisterDataSetObserver(mPrefetchDataSetObserver);
+        }
+        if ((mListViewAdapter = adapter) != null) {
+            mListViewAdapter.registerDataSetObserver(mPrefetchDataSetObserver);
+        }
+        mPrefetchRange.reset();
+    }
+
     /**
      * {@inheritDoc AbsListView#setOnScrollChangedListener}
      */
@@ -264,7 +534,21 @@ public abstract class HeaderFragment extends Fragment {
     }
 
     public int getHeaderBackgroundScrollMode() {
-        return mHeaderBackgroundScrollMode;
+        return mEngine.getBackgroundScrollMode();
+    }
+
+    /**
+     * @return {@code 0} when header is expanded, {@code 1} when collapsed
+     */
+    public float getHeaderScrollProgress() {
+        return mEngine.getProgress();
+    }
+
+    /**
+     * @return height of the part of the header that is still on screen
+     */
+    public int getHeaderVisibleHeight() {
+        return mEngine.getVisibleHeight();
     }
 
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.achep.header2actionbar.core.HeaderScrollEngine;
+
+/**
+ * Frame layout of {@link com.achep.header2actionbar.HeaderFragment}.
+ * <p>
+ * Doesn't draw content under the header (if enabled) and draws only the
+ * header's header view while the header is covered. Views' visibility
+ * is never changed.
+ */
+class HeaderFrameLayout extends FrameLayout {
+
+    private final HeaderScrollEngine mEngine;
+
+    private View mContent;
+    private View mHeader;
+    private View mHeaderHeader;
+    private boolean isContentClipEnabled;
+
+    public HeaderFrameLayout(Context context, HeaderScrollEngine engine) {
+        super(context);
+        mEngine = engine;
+    }
+
+    public void setContentView(View content) {
+        mContent = content;
+    }
+
+    /**
+     * @param header       header view
+     * @param headerHeader view on top of the header or {@code null}
+     */
+    public void setHeaderView(View header, View headerHeader) {
+        mHeader = header;
+        mHeaderHeader = headerHeader;
+    }
+
+    public void setContentClipEnabled(boolean enabled) {
+        isContentClipEnabled = enabled;
+        invalidate();
+    }
+
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+        if (child == mHeader && mEngine.isCovered()) {
+            drawCoveredHeader(canvas);
+            return false;
+        } else if (child != mContent || !isContentClipEnabled) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+
+        final int saveCount = canvas.save();
+        canvas.clipRect(0, mEngine.getVisibleHeight(), getWidth(), getHeight());
+        final boolean more = super.drawChild(canvas, child, drawingTime);
+        canvas.restoreToCount(saveCount);
+        return more;
+    }
+
+    /**
+     * Draws header's header view alone, skipping header's background
+     * and the rest of its children.
+     */
+    private void drawCoveredHeader(Canvas canvas) {
+        if (mHeaderHeader == null || mHeaderHeader.getVisibility() != VISIBLE) return;
+
+        // Header's header view stays in place, so its position
+        // is just a sum of the offsets.
+        float x = 0, y = 0;
+        for (View view = mHeaderHeader; view != this; view = (View) view.getParent()) {
+            x += view.getX();
+            y += view.getY();
+        }
+
+        final int saveCount = canvas.save();
+        canvas.clipRect(0, 0, getWidth(), mEngine.getVisibleHeight());
+        canvas.translate(x, y);
+        mHeaderHeader.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+}
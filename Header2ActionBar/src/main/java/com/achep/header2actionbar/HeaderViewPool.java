@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import java.util.ArrayList;
+
+/**
+ * Bounded pool of inflated header views, shared between
+ * {@link com.achep.header2actionbar.HeaderFragment} instances.
+ * <p>
+ * <b>Important</b>: Pooled views hold the context the pool was created with,
+ * so keep the pool within the lifetime of that {@link android.app.Activity}.
+ * <p>
+ * Must be used from the main thread only.
+ *
+ * @see com.achep.header2actionbar.HeaderFragment#setHeaderViewPool(HeaderViewPool)
+ */
+public class HeaderViewPool {
+
+    private static final String TAG = "HeaderViewPool";
+
+    private final LayoutInflater mInflater;
+    private final ViewGroup mInflateRoot;
+    private final int mLayoutResId;
+    private final int mMaxSize;
+
+    private final ArrayList<View> mPool;
+
+    private int mPrewarmSize;
+    private boolean isIdleHandlerQueued;
+
+    private final MessageQueue.IdleHandler mIdleHandler = new MessageQueue.IdleHandler() {
+
+        @Override
+        public boolean queueIdle() {
+
+            // Inflate one header per idle pass to keep every pass short.
+            if (mPool.size() < mPrewarmSize) mPool.add(inflate());
+            return isIdleHandlerQueued = mPool.size() < mPrewarmSize;
+        }
+    };
+
+    /**
+     * @param layoutResId layout of the header
+     * @param maxSize     maximum number of detached headers kept in pool
+     */
+    public HeaderViewPool(Context context, int layoutResId, int maxSize) {
+        mInflater = LayoutInflater.from(context);
+        mInflateRoot = new FrameLayout(context);
+        mLayoutResId = layoutResId;
+        mMaxSize = maxSize;
+        mPool = new ArrayList<View>(maxSize);
+    }
+
+    /**
+     * Inflates headers while the main thread is idle
+     * until pool contains given number of them.
+     *
+     * @param size number of headers to prepare, limited by pool's max size
+     */
+    public void prewarm(int size) {
+        mPrewarmSize = Math.min(size, mMaxSize);
+        if (!isIdleHandlerQueued && mPool.size() < mPrewarmSize) {
+            Looper.myQueue().addIdleHandler(mIdleHandler);
+            isIdleHandlerQueued = true;
+        }
+    }
+
+    /**
+     * @return detached header from pool or newly inflated one if pool is empty
+     */
+    public View obtain() {
+        final int size = mPool.size();
+        return size > 0 ? mPool.remove(size - 1) : inflate();
+    }
+
+    /**
+     * Detaches header from its parent and puts it back to pool.
+     * Header is dropped if pool is full.
+     */
+    public void recycle(View header) {
+        final ViewGroup parent = (ViewGroup) header.getParent();
+        if (parent != null) parent.removeView(header);
+
+        if (mPool.size() < mMaxSize) {
+            mPool.add(header);
+        }
+    }
+
+    /**
+     * Drops all pooled headers and cancels pending pre-warming.
+     */
+    public void clear() {
+        if (isIdleHandlerQueued) {
+            Looper.myQueue().removeIdleHandler(mIdleHandler);
+            isIdleHandlerQueued = false;
+        }
+        mPrewarmSize = 0;
+        mPool.clear();
+    }
+
+    public int size() {
+        return mPool.size();
+    }
+
+    private View inflate() {
+        // Inflate against a root to keep header's layout params.
+        return mInflater.inflate(mLayoutResId, mInflateRoot, false);
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar.core;
+
+/**
+ * Platform-independent action bar alpha level with locking support.
+ * <p>
+ * Created by AChep@xda <artemchep@gmail.com>
+ */
+public class ActionBarAlphaState {
+
+    private int mAlpha = 255;
+    private boolean isLocked;
+
+    /**
+     * @param alpha a value from 0 to 255
+     * @return {@code true} if alpha should be applied to the drawable
+     */
+    public boolean setAlpha(int alpha) {
+        mAlpha = alpha;
+        return !isLocked;
+    }
+
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    /**
+     * @return {@code true} if it was unlocked and current alpha
+     * should be re-applied to the drawable
+     */
+    public boolean setLocked(boolean lock) {
+        return isLocked != (isLocked = lock) && !isLocked;
+    }
+
+    public boolean isLocked() {
+        return isLocked;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar.core;
+
+/**
+ * Platform-independent header scroll state.
+ * <p>
+ * Feed it with content offsets through {@link #scrollTo(int, boolean)} and read
+ * the resulting transforms back. Works with primitives only and never allocates,
+ * so it's safe to call on every scroll frame.
+ * <p>
+ * Created by AChep@xda <artemchep@gmail.com>
+ */
+public class HeaderScrollEngine {
+
+    public static final int BACKGROUND_SCROLL_NORMAL = 0;
+    public static final int BACKGROUND_SCROLL_PARALLAX = 1;
+    public static final int BACKGROUND_SCROLL_STATIC = 2;
+
+    private static final float PARALLAX_RATIO = 1.6f;
+
+    private int mHeight;
+    private int mScroll;
+    private int mCoveredHeight;
+    private int mBackgroundScrollMode = BACKGROUND_SCROLL_NORMAL;
+
+    public void setHeaderHeight(int height) {
+        mHeight = height;
+    }
+
+    public int getHeaderHeight() {
+        return mHeight;
+    }
+
+    /**
+     * @param coveredHeight height of the views on top of the header
+     *                      (for example: an overlay action bar)
+     * @see #isCovered()
+     */
+    public void setCoveredHeight(int coveredHeight) {
+        mCoveredHeight = coveredHeight;
+    }
+
+    public int getCoveredHeight() {
+        return mCoveredHeight;
+    }
+
+    public void setBackgroundScrollMode(int scrollMode) {
+        mBackgroundScrollMode = scrollMode;
+    }
+
+    public int getBackgroundScrollMode() {
+        return mBackgroundScrollMode;
+    }
+
+    /**
+     * Scrolls header to given offset, clamped to {@code [-height, 0]}.
+     *
+     * @param scrollTo    top of the header relative to its expanded position
+     * @param forceChange report a change even if the offset is the same
+     * @return {@code true} if transforms should be re-applied
+     */
+    public boolean scrollTo(int scrollTo, boolean forceChange) {
+        scrollTo = Math.min(Math.max(scrollTo, -mHeight), 0);
+        return mScroll != (mScroll = scrollTo) | forceChange;
+    }
+
+    /**
+     * @return current header offset, from {@code -height} to {@code 0}
+     */
+    public int getScroll() {
+        return mScroll;
+    }
+
+    /**
+     * @return {@code 0} when header is expanded, {@code 1} when collapsed
+     */
+    public float getProgress() {
+        return mHeight == 0 ? 0f : (float) -mScroll / mHeight;
+    }
+
+    public boolean isCollapsed() {
+        return mScroll == -mHeight;
+    }
+
+    /**
+     * @return {@code true} if visible part of the header is entirely
+     * under the covering views, so there's no need to draw it
+     * @see #setCoveredHeight(int)
+     */
+    public boolean isCovered() {
+        return getVisibleHeight() <= mCoveredHeight;
+    }
+
+    /**
+     * @return height of the part of the header that is still on screen;
+     * content should not be drawn above it
+     */
+    public int getVisibleHeight() {
+        return mHeight + mScroll;
+    }
+
+    public int getHeaderTranslationY() {
+        return mScroll;
+    }
+
+    /**
+     * @return translation which keeps header's top view in place
+     */
+    public int getHeaderHeaderTranslationY() {
+        return -mScroll;
+    }
+
+    public float getBackgroundTranslationY() {
+        switch (mBackgroundScrollMode) {
+            case BACKGROUND_SCROLL_PARALLAX:
+                return -mScroll / PARALLAX_RATIO;
+            case BACKGROUND_SCROLL_STATIC:
+                return -mScroll;
+            default:
+                return 0;
+        }
+    }
+
+    public int getContentOverlayTranslationY() {
+        return getVisibleHeight();
+    }
+
+    public int getContentOverlayHeight(int containerHeight) {
+        return containerHeight - getVisibleHeight();
+    }
+
+}
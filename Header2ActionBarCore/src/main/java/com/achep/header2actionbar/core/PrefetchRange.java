@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar.core;
+
+/**
+ * Platform-independent range of items worth prefetching.
+ * <p>
+ * Converts list positions to adapter positions (without header and footer views)
+ * and extends visible range by a look-ahead window in the direction of scroll.
+ * Empty ranges are reported as {@code -1, -1}.
+ * <p>
+ * Created by AChep@xda <artemchep@gmail.com>
+ */
+public class PrefetchRange {
+
+    private int mLookAhead;
+
+    private int mFirstVisible = -1;
+    private int mLastVisible = -1;
+    private int mFirst = -1;
+    private int mLast = -1;
+
+    private int mPrevFirstVisibleItem = -1;
+    private boolean isScrollingDown = true;
+
+    /**
+     * @param lookAhead number of items to prefetch beyond the visible ones
+     * @throws IllegalArgumentException if look-ahead is negative
+     */
+    public void setLookAhead(int lookAhead) {
+        if (lookAhead < 0) {
+            throw new IllegalArgumentException("Look-ahead must not be negative: " + lookAhead);
+        }
+        mLookAhead = lookAhead;
+    }
+
+    public int getLookAhead() {
+        return mLookAhead;
+    }
+
+    /**
+     * @param firstVisibleItem list position of the first visible item
+     * @param visibleItemCount number of visible items
+     * @param totalItemCount   number of items, including header and footer views
+     * @param headerCount      number of header views, including the fake header
+     * @param footerCount      number of footer views
+     * @return {@code true} if range has been changed
+     */
+    public boolean update(int firstVisibleItem, int visibleItemCount, int totalItemCount,
+                          int headerCount, int footerCount) {
+        if (mPrevFirstVisibleItem == -1) {
+            isScrollingDown = true;
+            mPrevFirstVisibleItem = firstVisibleItem;
+        } else if (firstVisibleItem != mPrevFirstVisibleItem) {
+            isScrollingDown = firstVisibleItem > mPrevFirstVisibleItem;
+            mPrevFirstVisibleItem = firstVisibleItem;
+        }
+
+        final int count = totalItemCount - headerCount - footerCount;
+        int firstVisible = Math.max(firstVisibleItem - headerCount, 0);
+        int lastVisible = Math.min(firstVisibleItem + visibleItemCount - 1 - headerCount, count - 1);
+        int first, last;
+
+        if (count <= 0 || lastVisible < firstVisible) {
+            firstVisible = lastVisible = first = last = -1;
+        } else if (isScrollingDown) {
+            first = firstVisible;
+            last = Math.min(lastVisible + mLookAhead, count - 1);
+        } else {
+            first = Math.max(firstVisible - mLookAhead, 0);
+            last = lastVisible;
+        }
+
+        if (mFirstVisible == firstVisible && mLastVisible == lastVisible
+                && mFirst == first && mLast == last) return false;
+
+        mFirstVisible = firstVisible;
+        mLastVisible = lastVisible;
+        mFirst = first;
+        mLast = last;
+        return true;
+    }
+
+    /**
+     * Forgets current range and scroll direction, so the next
+     * {@link #update(int, int, int, int, int)} always reports a change.
+     * Call this when data set has been changed.
+     */
+    public void reset() {
+        mFirstVisible = mLastVisible = mFirst = mLast = -1;
+        mPrevFirstVisibleItem = -1;
+        isScrollingDown = true;
+    }
+
+    public int getFirstVisible() {
+        return mFirstVisible;
+    }
+
+    public int getLastVisible() {
+        return mLastVisible;
+    }
+
+    /**
+     * @return first adapter position to prefetch, including look-ahead
+     */
+    public int getFirst() {
+        return mFirst;
+    }
+
+    /**
+     * @return last adapter position to prefetch, including look-ahead
+     */
+    public int getLast() {
+        return mLast;
+    }
+
+    public boolean isScrollingDown() {
+        return isScrollingDown;
+    }
+
+}
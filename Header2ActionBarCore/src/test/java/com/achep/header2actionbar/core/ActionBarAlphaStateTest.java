@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ActionBarAlphaStateTest {
+
+    private ActionBarAlphaState mState;
+
+    @Before
+    public void setUp() {
+        mState = new ActionBarAlphaState();
+    }
+
+    @Test
+    public void defaultsToOpaqueAndUnlocked() {
+        assertEquals(255, mState.getAlpha());
+        assertFalse(mState.isLocked());
+    }
+
+    @Test
+    public void unlockedAlphaIsApplied() {
+        assertTrue(mState.setAlpha(100));
+        assertEquals(100, mState.getAlpha());
+    }
+
+    @Test
+    public void lockedAlphaIsStoredButNotApplied() {
+        assertFalse(mState.setLocked(true));
+        assertTrue(mState.isLocked());
+
+        assertFalse(mState.setAlpha(100));
+        assertEquals(100, mState.getAlpha());
+    }
+
+    @Test
+    public void unlockRequestsReapply() {
+        mState.setLocked(true);
+        mState.setAlpha(100);
+
+        assertTrue(mState.setLocked(false));
+        assertFalse(mState.isLocked());
+        assertEquals(100, mState.getAlpha());
+    }
+
+    @Test
+    public void repeatedLockOrUnlockDoesNothing() {
+        assertFalse(mState.setLocked(false));
+
+        mState.setLocked(true);
+        assertFalse(mState.setLocked(true));
+
+        mState.setLocked(false);
+        assertFalse(mState.setLocked(false));
+    }
+
+}
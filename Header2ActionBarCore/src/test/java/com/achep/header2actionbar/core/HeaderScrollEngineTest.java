@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HeaderScrollEngineTest {
+
+    private static final int HEIGHT = 200;
+    private static final float DELTA = 1e-6f;
+
+    private HeaderScrollEngine mEngine;
+
+    @Before
+    public void setUp() {
+        mEngine = new HeaderScrollEngine();
+        mEngine.setHeaderHeight(HEIGHT);
+    }
+
+    @Test
+    public void scrollIsClampedToHeaderHeight() {
+        mEngine.scrollTo(-1000, false);
+        assertEquals(-HEIGHT, mEngine.getScroll());
+        assertTrue(mEngine.isCollapsed());
+
+        mEngine.scrollTo(1000, false);
+        assertEquals(0, mEngine.getScroll());
+        assertFalse(mEngine.isCollapsed());
+
+        mEngine.scrollTo(-50, false);
+        assertEquals(-50, mEngine.getScroll());
+    }
+
+    @Test
+    public void scrollReportsChangesOnly() {
+        assertTrue(mEngine.scrollTo(-50, false));
+        assertFalse(mEngine.scrollTo(-50, false));
+
+        // Both are clamped to the same offset.
+        assertTrue(mEngine.scrollTo(-HEIGHT - 1, false));
+        assertFalse(mEngine.scrollTo(-HEIGHT - 2, false));
+    }
+
+    @Test
+    public void forceChangeIsAlwaysReported() {
+        assertTrue(mEngine.scrollTo(0, true));
+        assertTrue(mEngine.scrollTo(0, true));
+        assertFalse(mEngine.scrollTo(0, false));
+    }
+
+    @Test
+    public void progress() {
+        assertEquals(0f, mEngine.getProgress(), DELTA);
+        mEngine.scrollTo(-HEIGHT / 2, false);
+        assertEquals(0.5f, mEngine.getProgress(), DELTA);
+        mEngine.scrollTo(-HEIGHT, false);
+        assertEquals(1f, mEngine.getProgress(), DELTA);
+    }
+
+    @Test
+    public void progressOfZeroHeightHeader() {
+        mEngine.setHeaderHeight(0);
+        mEngine.scrollTo(-10, true);
+        assertEquals(0f, mEngine.getProgress(), DELTA);
+        assertEquals(0, mEngine.getScroll());
+    }
+
+    @Test
+    public void contentClipFollowsVisibleHeight() {
+        assertEquals(HEIGHT, mEngine.getVisibleHeight());
+        mEngine.scrollTo(-80, false);
+        assertEquals(HEIGHT - 80, mEngine.getVisibleHeight());
+        mEngine.scrollTo(-HEIGHT, false);
+        assertEquals(0, mEngine.getVisibleHeight());
+    }
+
+    @Test
+    public void coveredOnlyWhenCollapsedByDefault() {
+        assertFalse(mEngine.isCovered());
+        mEngine.scrollTo(-HEIGHT + 1, false);
+        assertFalse(mEngine.isCovered());
+        mEngine.scrollTo(-HEIGHT, false);
+        assertTrue(mEngine.isCovered());
+    }
+
+    @Test
+    public void coveredByActionBar() {
+        final int actionBarHeight = 56;
+        mEngine.setCoveredHeight(actionBarHeight);
+
+        mEngine.scrollTo(-(HEIGHT - actionBarHeight) + 1, false);
+        assertFalse(mEngine.isCovered());
+        mEngine.scrollTo(-(HEIGHT - actionBarHeight), false);
+        assertTrue(mEngine.isCovered());
+        mEngine.scrollTo(-HEIGHT, false);
+        assertTrue(mEngine.isCovered());
+
+        mEngine.scrollTo(0, false);
+        assertFalse(mEngine.isCovered());
+    }
+
+    @Test
+    public void headerTranslations() {
+        mEngine.scrollTo(-80, false);
+        assertEquals(-80, mEngine.getHeaderTranslationY());
+        assertEquals(80, mEngine.getHeaderHeaderTranslationY());
+    }
+
+    @Test
+    public void backgroundNormal() {
+        mEngine.setBackgroundScrollMode(HeaderScrollEngine.BACKGROUND_SCROLL_NORMAL);
+        mEngine.scrollTo(-80, false);
+        assertEquals(0f, mEngine.getBackgroundTranslationY(), DELTA);
+    }
+
+    @Test
+    public void backgroundParallax() {
+        mEngine.setBackgroundScrollMode(HeaderScrollEngine.BACKGROUND_SCROLL_PARALLAX);
+        mEngine.scrollTo(-80, false);
+        assertEquals(80 / 1.6f, mEngine.getBackgroundTranslationY(), DELTA);
+    }
+
+    @Test
+    public void backgroundStatic() {
+        mEngine.setBackgroundScrollMode(HeaderScrollEngine.BACKGROUND_SCROLL_STATIC);
+        mEngine.scrollTo(-80, false);
+        assertEquals(80f, mEngine.getBackgroundTranslationY(), DELTA);
+    }
+
+    @Test
+    public void backgroundUnknownModeIsNotTranslated() {
+        mEngine.setBackgroundScrollMode(42);
+        mEngine.scrollTo(-80, false);
+        assertEquals(0f, mEngine.getBackgroundTranslationY(), DELTA);
+    }
+
+    @Test
+    public void contentOverlayGeometry() {
+        final int containerHeight = 1000;
+
+        assertEquals(HEIGHT, mEngine.getContentOverlayTranslationY());
+        assertEquals(containerHeight - HEIGHT, mEngine.getContentOverlayHeight(containerHeight));
+
+        mEngine.scrollTo(-80, false);
+        assertEquals(HEIGHT - 80, mEngine.getVisibleHeight());
+        assertEquals(HEIGHT - 80, mEngine.getContentOverlayTranslationY());
+        assertEquals(containerHeight - HEIGHT + 80, mEngine.getContentOverlayHeight(containerHeight));
+
+        mEngine.scrollTo(-HEIGHT, false);
+        assertEquals(0, mEngine.getContentOverlayTranslationY());
+        assertEquals(containerHeight, mEngine.getContentOverlayHeight(containerHeight));
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.achep.header2actionbar.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrefetchRangeTest {
+
+    private PrefetchRange mRange;
+
+    @Before
+    public void setUp() {
+        mRange = new PrefetchRange();
+        mRange.setLookAhead(3);
+    }
+
+    private void assertRange(int firstVisible, int lastVisible, int first, int last) {
+        assertEquals(firstVisible, mRange.getFirstVisible());
+        assertEquals(lastVisible, mRange.getLastVisible());
+        assertEquals(first, mRange.getFirst());
+        assertEquals(last, mRange.getLast());
+    }
+
+    @Test
+    public void fakeHeaderIsNotCounted() {
+
+        // Fake header is partly visible and takes the first slot.
+        assertTrue(mRange.update(0, 5, 21, 1, 0));
+        assertRange(0, 3, 0, 6);
+
+        // Fake header scrolled away.
+        assertTrue(mRange.update(1, 5, 21, 1, 0));
+        assertRange(0, 4, 0, 7);
+    }
+
+    @Test
+    public void appHeaderViewsAreNotCounted() {
+
+        // Fake header and two app header views.
+        mRange.update(1, 6, 23, 3, 0);
+        assertRange(0, 3, 0, 6);
+    }
+
+    @Test
+    public void footerViewsAreNotCounted() {
+
+        // 10 items between one header and two footers.
+        mRange.update(8, 5, 13, 1, 2);
+        assertRange(7, 9, 7, 9);
+    }
+
+    @Test
+    public void lookAheadIsClampedToItems() {
+        mRange.update(5, 5, 11, 1, 0);
+        assertRange(4, 8, 4, 9);
+    }
+
+    @Test
+    public void onlyHeadersAndFootersVisible() {
+        mRange.update(0, 3, 3, 1, 2);
+        assertRange(-1, -1, -1, -1);
+
+        // Empty range is not reported twice.
+        assertFalse(mRange.update(0, 3, 3, 1, 2));
+    }
+
+    @Test
+    public void lookAheadFollowsScrollDirection() {
+        mRange.update(10, 5, 51, 1, 0);
+        assertTrue(mRange.isScrollingDown());
+        assertRange(9, 13, 9, 16);
+
+        mRange.update(8, 5, 51, 1, 0);
+        assertFalse(mRange.isScrollingDown());
+        assertRange(7, 11, 4, 11);
+
+        // Same position keeps previous direction.
+        assertFalse(mRange.update(8, 5, 51, 1, 0));
+        assertFalse(mRange.isScrollingDown());
+
+        mRange.update(9, 5, 51, 1, 0);
+        assertTrue(mRange.isScrollingDown());
+        assertRange(8, 12, 8, 15);
+    }
+
+    @Test
+    public void lookAheadBackwardsIsClampedToFirstItem() {
+        mRange.update(5, 5, 51, 1, 0);
+        mRange.update(2, 5, 51, 1, 0);
+        assertRange(1, 5, 0, 5);
+    }
+
+    @Test
+    public void changesOnlyAreReported() {
+        assertTrue(mRange.update(3, 5, 21, 1, 0));
+        assertFalse(mRange.update(3, 5, 21, 1, 0));
+    }
+
+    @Test
+    public void resetReportsSameRangeAgain() {
+        mRange.update(3, 5, 21, 1, 0);
+        mRange.reset();
+        assertRange(-1, -1, -1, -1);
+        assertTrue(mRange.update(3, 5, 21, 1, 0));
+    }
+
+    @Test
+    public void resetForgetsScrollDirection() {
+        mRange.update(10, 5, 51, 1, 0);
+        mRange.update(8, 5, 51, 1, 0);
+        mRange.reset();
+
+        // Smaller position than before reset, but there's no previous one now.
+        mRange.update(5, 5, 51, 1, 0);
+        assertTrue(mRange.isScrollingDown());
+        assertRange(4, 8, 4, 11);
+    }
+
+    @Test
+    public void zeroLookAhead() {
+        mRange.setLookAhead(0);
+        mRange.update(3, 5, 21, 1, 0);
+        assertRange(2, 6, 2, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeLookAheadIsRejected() {
+        mRange.setLookAhead(-1);
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2013 AChep@xda <artemchep@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.achep.header2actionbardemo;
+
+import android.util.Log;
+
+/**
+ * Collects time from {@code onCreateView} to the first frame of a header
+ * fragment, separately for inflated headers, headers inflated because
+ * the pool was empty and headers reused from the pool.
+ * <p>
+ * Use "Reopen" and "Use header pool" menu items and compare averages in logcat.
+ */
+public class FirstFrameStats {
+
+    private static final String TAG = "FirstFrameStats";
+
+    public static final int INFLATED = 0;
+    public static final int POOL_MISS = 1;
+    public static final int POOL_HIT = 2;
+
+    private static final String[] NAMES = {"Inflated", "Pool miss", "Pool hit"};
+
+    private static final long[] sTotalTime = new long[NAMES.length];
+    private static final int[] sCount = new int[NAMES.length];
+
+    /**
+     * @param type one of {@link #INFLATED}, {@link #POOL_MISS} or {@link #POOL_HIT}
+     * @param time time to first frame in nanoseconds
+     */
+    public static void report(int type, long time) {
+        sTotalTime[type] += time;
+        sCount[type]++;
+
+        Log.i(TAG, NAMES[type] + " header: "
+                + toMillis(time) + "ms to first frame"
+                + " (average " + toMillis(sTotalTime[type] / sCount[type])
+                + "ms of " + sCount[type] + ")");
+    }
+
+    private static float toMillis(long nanos) {
+        return nanos / 1000000f;
+    }
+
+}
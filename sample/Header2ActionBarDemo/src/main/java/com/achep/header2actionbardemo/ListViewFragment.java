@@ -18,17 +18,20 @@ package com.achep.header2actionbardemo;
 import android.app.Activity;
 import android.app.Fragment;
 import android.os.AsyncTask;
+import android.os.Bundle;
 import android.util.Log;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.widget.ArrayAdapter;
 import android.widget.FrameLayout;
 import android.widget.ListView;
 import android.widget.ProgressBar;
 
 import com.achep.header2actionbar.HeaderFragment;
+import com.achep.header2actionbar.HeaderViewPool;
 
 import java.lang.ref.WeakReference;
 
@@ -49,6 +52,8 @@ public class ListViewFragment extends HeaderFragment {
         super.onAttach(activity);
 
         setHeaderBackgroundScrollMode(HEADER_BACKGROUND_SCROLL_PARALLAX);
+        setContentClipEnabled(true); // header is opaque
+        setHeaderViewPool(((MainActivity) activity).getHeaderViewPool());
         setOnHeaderScrollChangedListener(new OnHeaderScrollChangedListener() {
             @Override
             public void onHeaderScrollChanged(float progress, int height, int scroll) {
@@ -82,6 +87,31 @@ public class ListViewFragment extends HeaderFragment {
         super.onDetach();
     }
 
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
+        final long startTime = System.nanoTime();
+
+        // Header is reused only if pool is not empty, otherwise it's inflated.
+        final HeaderViewPool pool = getHeaderViewPool();
+        final int type = pool == null
+                ? FirstFrameStats.INFLATED
+                : pool.size() > 0
+                ? FirstFrameStats.POOL_HIT
+                : FirstFrameStats.POOL_MISS;
+        final View view = super.onCreateView(inflater, container, savedInstanceState);
+
+        // Measure time to first frame.
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                FirstFrameStats.report(type, System.nanoTime() - startTime);
+                return true;
+            }
+        });
+        return view;
+    }
+
     @Override
     public View onCreateHeaderView(LayoutInflater inflater, ViewGroup container) {
         return inflater.inflate(R.layout.fragment_header, container, false);
@@ -23,6 +23,7 @@ import android.view.Menu;
 import android.view.MenuItem;
 
 import com.achep.header2actionbar.FadingActionBarHelper;
+import com.achep.header2actionbar.HeaderViewPool;
 
 public class MainActivity extends Activity {
 
@@ -30,6 +31,9 @@ public class MainActivity extends Activity {
 
     private FadingActionBarHelper mFadingActionBarHelper;
 
+    private HeaderViewPool mHeaderViewPool;
+    private boolean isHeaderViewPoolEnabled;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -38,6 +42,8 @@ public class MainActivity extends Activity {
         mFadingActionBarHelper = new FadingActionBarHelper(getActionBar(),
                 getResources().getDrawable(R.drawable.actionbar_bg));
 
+        mHeaderViewPool = new HeaderViewPool(this, R.layout.fragment_header, 2);
+
         if (savedInstanceState == null) {
             getFragmentManager().beginTransaction()
                     .add(R.id.container, new ListViewFragment())
@@ -46,11 +52,18 @@ public class MainActivity extends Activity {
     }
 
 
+    @Override
+    protected void onDestroy() {
+        mHeaderViewPool.clear();
+        super.onDestroy();
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         
         // Inflate the menu; this adds items to the action bar if it is present.
         getMenuInflater().inflate(R.menu.main, menu);
+        menu.findItem(R.id.action_header_pool).setChecked(isHeaderViewPoolEnabled);
         return true;
     }
 
@@ -65,6 +78,20 @@ public class MainActivity extends Activity {
             Intent intent = new Intent(Intent.ACTION_VIEW, uri);
             startActivity(intent);
             return true;
+        } else if (id == R.id.action_reopen) { // measure time to first frame again
+            getFragmentManager().beginTransaction()
+                    .replace(R.id.container, new ListViewFragment())
+                    .commit();
+            return true;
+        } else if (id == R.id.action_header_pool) {
+            isHeaderViewPoolEnabled = !isHeaderViewPoolEnabled;
+            item.setChecked(isHeaderViewPoolEnabled);
+            if (isHeaderViewPoolEnabled) {
+                mHeaderViewPool.prewarm(2);
+            } else {
+                mHeaderViewPool.clear();
+            }
+            return true;
         }
         return super.onOptionsItemSelected(item);
     }
@@ -73,4 +100,11 @@ public class MainActivity extends Activity {
         return mFadingActionBarHelper;
     }
 
+    /**
+     * @return pool of headers or {@code null} if it's disabled
+     */
+    public HeaderViewPool getHeaderViewPool() {
+        return isHeaderViewPoolEnabled ? mHeaderViewPool : null;
+    }
+
 }